@@ -11,18 +11,18 @@
 
 package com.zas.simpletodo;
 import java.awt.BorderLayout;
+import java.awt.Image;
+import java.awt.SystemTray;
+import java.awt.TrayIcon;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
-import java.io.BufferedReader;
-import java.io.BufferedWriter;
+import java.io.Closeable;
 import java.io.File;
-import java.io.FileReader;
-import java.io.FileWriter;
-import java.text.DateFormat;
-import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Date;
-import java.util.Locale;
+import java.util.List;
+import java.util.Vector;
+import java.util.concurrent.CancellationException;
 
 import javax.swing.ImageIcon;
 import javax.swing.JButton;
@@ -32,8 +32,13 @@ import javax.swing.JOptionPane;
 import javax.swing.JScrollPane;
 import javax.swing.JTable;
 import javax.swing.JToolBar;
+import javax.swing.SwingUtilities;
+import javax.swing.SwingWorker;
 import javax.swing.event.ListSelectionEvent;
 import javax.swing.event.ListSelectionListener;
+import javax.swing.event.TableModelEvent;
+import javax.swing.event.TableModelListener;
+import javax.swing.filechooser.FileFilter;
 import javax.swing.filechooser.FileNameExtensionFilter;
 import javax.swing.table.DefaultTableModel;
 
@@ -43,16 +48,27 @@ import javax.swing.table.DefaultTableModel;
  * This class handles all the data and interaction of the todo list.
  *
  */
-public class ApplicationWindow extends JFrame implements ActionListener
+public class ApplicationWindow extends JFrame implements ActionListener, ReminderScheduler.ReminderListener
 {
 	private static final long serialVersionUID=1;
-	private static final Object[] columnNames={"Done","Task","Date"};
-	private static final DateFormat dateFormat=new SimpleDateFormat("yyyy-MM-dd",Locale.ENGLISH);
-	private static final int CHECK_COLUMN=0,NAME_COLUMN=1,DATE_COLUMN=2;
+	private static final Object[] columnNames={"Done","Task","Date","Repeat"};
+	private static final int CHECK_COLUMN=0,NAME_COLUMN=1,DATE_COLUMN=2,REPEAT_COLUMN=3;
+	//maximum amount of task names listed in a single reminder notification
+	private static final int MAX_REMINDER_NAMES=5;
+	//amount of imported tasks inserted into the table at once
+	private static final int IMPORT_BATCH_SIZE=1000;
+	//amount of tasks copied from the table at once while exporting
+	private static final int EXPORT_BATCH_SIZE=1000;
+	//formats offered for importing and exporting, the own file format is handled by loading and saving
+	private static final TaskFormat[] transferFormats={TaskFormat.CSV,TaskFormat.JSON_LINES,TaskFormat.ICALENDAR};
 	
 	private DefaultTableModel todoTableModel;
 	private JTable todoTable;
-	private JButton addButton,saveButton,loadButton,deleteButton,editButton;
+	private JButton addButton,saveButton,loadButton,deleteButton,editButton,importButton,exportButton;
+	private ReminderScheduler reminderScheduler;
+	private TrayIcon trayIcon;
+	private SwingWorker<Void,List<Object[]>> importWorker;
+	private SwingWorker<Void,Long> exportWorker;
 	
 	/**
 	  * Constructor, intializes everything 
@@ -61,6 +77,7 @@ public class ApplicationWindow extends JFrame implements ActionListener
 	{
 		super();
 		
+		reminderScheduler=new ReminderScheduler(this);
 		createGUI();
 	}
 	
@@ -102,6 +119,8 @@ public class ApplicationWindow extends JFrame implements ActionListener
 						return Boolean.class;
 					case DATE_COLUMN:
 						return Date.class;
+					case REPEAT_COLUMN:
+						return Recurrence.class;
 				}
 			}
 		};
@@ -109,6 +128,7 @@ public class ApplicationWindow extends JFrame implements ActionListener
 		todoTable.getColumnModel().getColumn(CHECK_COLUMN).setPreferredWidth(50);
 		todoTable.getColumnModel().getColumn(NAME_COLUMN).setPreferredWidth(500);
 		todoTable.getColumnModel().getColumn(DATE_COLUMN).setPreferredWidth(110);
+		todoTable.getColumnModel().getColumn(REPEAT_COLUMN).setPreferredWidth(70);
 		todoTable.getSelectionModel().addListSelectionListener(new ListSelectionListener()
 		{
 			//add listener so we can disable and enable the delete and edit task buttons
@@ -118,6 +138,16 @@ public class ApplicationWindow extends JFrame implements ActionListener
 				eventListSelection();
 			}
 		});
+		todoTableModel.addTableModelListener(new TableModelListener()
+		{
+			//add listener so checking and unchecking tasks updates their reminders
+			@Override
+			public void tableChanged(TableModelEvent event)
+			{
+				if (event.getType()==TableModelEvent.UPDATE&&event.getColumn()==CHECK_COLUMN)
+				eventTaskChecked(event.getFirstRow(),event.getLastRow());
+			}
+		});
 		
 		scroll.setViewportView(todoTable);
 		todoTable.setFillsViewportHeight(true);
@@ -131,8 +161,12 @@ public class ApplicationWindow extends JFrame implements ActionListener
 		deleteButton.setEnabled(false);
 		editButton=makeToolBarButton("Edit task","resources/edit.png");
 		editButton.setEnabled(false);
+		importButton=makeToolBarButton("Import tasks",null);
+		exportButton=makeToolBarButton("Export tasks",null);
 		toolbar.add(saveButton);
 		toolbar.add(loadButton);
+		toolbar.add(importButton);
+		toolbar.add(exportButton);
 		toolbar.add(addButton);
 		toolbar.add(editButton);
 		toolbar.add(deleteButton);
@@ -176,7 +210,10 @@ public class ApplicationWindow extends JFrame implements ActionListener
 						//iterate and delete rows
 						int[] rows=todoTable.getSelectedRows();
 						for(int i=rows.length-1;i>=0;i--)
-						todoTableModel.removeRow(rows[i]);
+						{
+							reminderScheduler.cancel(getRowData(rows[i]));
+							todoTableModel.removeRow(rows[i]);
+						}
 					} catch (Exception ex)
 					{
 						System.out.println(ex.getStackTrace());
@@ -190,7 +227,7 @@ public class ApplicationWindow extends JFrame implements ActionListener
 		{
 			int selections=todoTable.getSelectedRowCount();
 			if (selections==1) //check that only one task is selected, open edit dialog
-			new TaskDialog(this,todoTable.getSelectedRow(),(String)todoTable.getValueAt(todoTable.getSelectedRow(),NAME_COLUMN),(Date)todoTable.getValueAt(todoTable.getSelectedRow(),DATE_COLUMN));
+			new TaskDialog(this,todoTable.getSelectedRow(),(String)todoTable.getValueAt(todoTable.getSelectedRow(),NAME_COLUMN),(Date)todoTable.getValueAt(todoTable.getSelectedRow(),DATE_COLUMN),(Recurrence)todoTable.getValueAt(todoTable.getSelectedRow(),REPEAT_COLUMN));
 		}
 		else //load button event
 		if (event.getSource()==loadButton)
@@ -228,6 +265,52 @@ public class ApplicationWindow extends JFrame implements ActionListener
 				JOptionPane.showMessageDialog(this,"Unable read file system.","Error",JOptionPane.WARNING_MESSAGE);
 			}
 		}
+		else //import button event
+		if (event.getSource()==importButton)
+		{
+			//the import button cancels the import while one is running
+			if (importWorker!=null)
+			{
+				importWorker.cancel(false);
+				return;
+			}
+			
+			JFileChooser chooser=makeTransferFileChooser();
+			try
+			{
+				int result=chooser.showOpenDialog(this);
+				
+				if (result==JFileChooser.APPROVE_OPTION)
+				importFile(chooser.getSelectedFile(),getSelectedFormat(chooser));
+			} catch (Exception ex)
+			{
+				System.out.println(ex);
+				JOptionPane.showMessageDialog(this,"Unable read file system.","Error",JOptionPane.WARNING_MESSAGE);
+			}
+		}
+		else //export button event
+		if (event.getSource()==exportButton)
+		{
+			//the export button cancels the export while one is running
+			if (exportWorker!=null)
+			{
+				exportWorker.cancel(false);
+				return;
+			}
+			
+			JFileChooser chooser=makeTransferFileChooser();
+			try
+			{
+				int result=chooser.showSaveDialog(this);
+				
+				if (result==JFileChooser.APPROVE_OPTION)
+				exportFile(chooser.getSelectedFile(),getSelectedFormat(chooser));
+			} catch (Exception ex)
+			{
+				System.out.println(ex);
+				JOptionPane.showMessageDialog(this,"Unable read file system.","Error",JOptionPane.WARNING_MESSAGE);
+			}
+		}
 	}
 	
 	/**
@@ -235,74 +318,30 @@ public class ApplicationWindow extends JFrame implements ActionListener
 	 * <p>
 	 * File format is as follows: First line contains 'f' or 't' for true and false to store if the task is checked, next line contains the name of the task and next the date.
 	 * After this is the checked value of the next task and then it's name. A very simple way to store data.
+	 * The date line of a repeating task is followed by a space and the repeat interval, e.g. "2017-10-02 weekly".
 	 * 
 	 * @param file File to open
 	 */
 	private void loadFile(File file)
 	{
-		BufferedReader reader;
+		TaskReader reader=null;
 		
 		try
 		{
-			//initialize list to put file data into
+			//initialize list to put file data into, the table is only replaced once the whole file has been read
 			ArrayList<Object[]> readData=new ArrayList<Object[]>();
 			
-			reader=new BufferedReader(new FileReader(file));
-			
-			//stores the checked value of the current task
-			String currentChecked="";
-			String currentName="";
-			String currentDate="";
+			reader=TaskFormat.SIMPLE_TODO.openReader(file);
 			
-			//loop all lines of the file
-			//read 3 lines at a time (checked, name, date)
-			while ((currentChecked=reader.readLine())!=null)
-			{
-				if ((currentName=reader.readLine())==null)
-				{
-					reader.close();
-					throw new Exception("File format does not match");
-				}
-				if ((currentDate=reader.readLine())==null)
-				{
-					reader.close();
-					throw new Exception("File format does not match");
-				}
-				
-				Object[] newTask={false,"",""};
-				
-				//get checked state
-				if (currentChecked.equals("t"))
-				newTask[CHECK_COLUMN]=true;
-				else if (currentChecked.equals("f"))
-				newTask[CHECK_COLUMN]=false;
-				else
-				{
-					reader.close();
-					throw new Exception("File format does not match");
-				}
-				
-				//get name
-				newTask[NAME_COLUMN]=currentName;
-				
-				//get date
-				try
-				{
-					newTask[DATE_COLUMN]=dateFormat.parse(currentDate);
-				} catch (Exception ex)
-				{
-					reader.close();
-					throw new Exception("File format does not match");
-				}
-				
-				//add task to read data list
-				readData.add(newTask);
-			}
+			//loop all tasks of the file
+			Task task;
+			while ((task=reader.read())!=null)
+			readData.add(toRow(task));
 
 			reader.close();
 			
 			//convert ArrayList to an array
-			Object[][] newData=new Object[readData.size()][3];
+			Object[][] newData=new Object[readData.size()][columnNames.length];
 			for(int i=0;i<readData.size();i++)
 			newData[i]=readData.get(i);
 
@@ -310,6 +349,7 @@ public class ApplicationWindow extends JFrame implements ActionListener
 			int col1Width=todoTable.getColumnModel().getColumn(CHECK_COLUMN).getPreferredWidth();
 			int col2Width=todoTable.getColumnModel().getColumn(NAME_COLUMN).getPreferredWidth();
 			int col3Width=todoTable.getColumnModel().getColumn(DATE_COLUMN).getPreferredWidth();
+			int col4Width=todoTable.getColumnModel().getColumn(REPEAT_COLUMN).getPreferredWidth();
 			
 			//insert data received from the file into the table
 			todoTableModel.setDataVector(newData,columnNames);
@@ -318,11 +358,17 @@ public class ApplicationWindow extends JFrame implements ActionListener
 			todoTable.getColumnModel().getColumn(CHECK_COLUMN).setPreferredWidth(col1Width);
 			todoTable.getColumnModel().getColumn(NAME_COLUMN).setPreferredWidth(col2Width);
 			todoTable.getColumnModel().getColumn(DATE_COLUMN).setPreferredWidth(col3Width);
+			todoTable.getColumnModel().getColumn(REPEAT_COLUMN).setPreferredWidth(col4Width);
+			
+			//replace reminders with the ones of the loaded tasks
+			reminderScheduler.clear();
+			scheduleReminders(0,todoTableModel.getRowCount()-1,false);
 			
 			setWindowTitle(file.getName());
 		} catch (Exception ex)
 		{
 			System.out.println(ex);
+			closeQuietly(reader);
 			JOptionPane.showMessageDialog(this,"Unable to load file.","Error",JOptionPane.WARNING_MESSAGE);
 		}
 	}
@@ -336,36 +382,331 @@ public class ApplicationWindow extends JFrame implements ActionListener
 	 */
 	private void saveFile(File file)
 	{
-		BufferedWriter writer;
-		
 		//add ".todo" to end of file name if missing
 		if (!file.getName().toLowerCase().endsWith(".todo"))
 		file=new File(file.getAbsolutePath()+".todo");
 		
-		try
+		if (writeFile(file,TaskFormat.SIMPLE_TODO))
+		setWindowTitle(file.getName());
+	}
+	
+	/**
+	 * Adds the tasks of a CSV, JSON Lines or iCalendar file to the end of the current todo list
+	 * <p>
+	 * The file is read on a background thread so the window stays responsive, and the tasks are passed to the
+	 * event dispatch thread in batches, so the table is only notified once per batch.
+	 * While the import runs the import button shows the progress and cancels the import when clicked.
+	 * Tasks that were already added to the table when the import is cancelled or fails are kept, later batches are dropped.
+	 * 
+	 * @param file File to import
+	 * @param format TaskFormat format of the file
+	 */
+	private void importFile(final File file,final TaskFormat format)
+	{
+		//loading a file would replace the table while the import is still adding to it
+		loadButton.setEnabled(false);
+		importButton.setText("Cancel import");
+		importButton.setToolTipText("Cancel import");
+		
+		importWorker=new SwingWorker<Void,List<Object[]>>()
 		{
-			writer=new BufferedWriter(new FileWriter(file));
+			private long imported;
 			
-			//iterate through all entries in todo table
-			for(int i=0;i<todoTableModel.getRowCount();i++)
+			@Override
+			protected Void doInBackground() throws Exception
+			{
+				TaskReader reader=format.openReader(file);
+				try
+				{
+					ArrayList<Object[]> batch=new ArrayList<Object[]>(IMPORT_BATCH_SIZE);
+					Task task;
+					while (!isCancelled()&&(task=reader.read())!=null)
+					{
+						batch.add(toRow(task));
+						if (batch.size()==IMPORT_BATCH_SIZE&&!isCancelled())
+						{
+							publish(batch);
+							batch=new ArrayList<Object[]>(IMPORT_BATCH_SIZE);
+						}
+					}
+					if (!batch.isEmpty()&&!isCancelled())
+					publish(batch);
+				} finally
+				{
+					reader.close();
+				}
+				return null;
+			}
+			
+			@Override
+			protected void process(List<List<Object[]>> batches)
+			{
+				//batches published before a cancellation can still arrive after done(), when the import is over
+				if (isCancelled()||importWorker!=this)
+				return;
+				
+				for(List<Object[]> batch:batches)
+				{
+					imported+=batch.size();
+					insertRows(batch);
+				}
+				importButton.setText("Cancel import ("+imported+(imported==1?" task)":" tasks)"));
+			}
+			
+			@Override
+			protected void done()
+			{
+				importWorker=null;
+				loadButton.setEnabled(exportWorker==null);
+				importButton.setText("Import tasks");
+				importButton.setToolTipText("Import tasks");
+				
+				try
+				{
+					get();
+				} catch (CancellationException ex)
+				{
+					//cancelled by the user, nothing to report
+				} catch (Exception ex)
+				{
+					System.out.println(ex);
+					JOptionPane.showMessageDialog(ApplicationWindow.this,"Unable to import file.","Error",JOptionPane.WARNING_MESSAGE);
+				}
+			}
+		};
+		importWorker.execute();
+	}
+	
+	/**
+	 * Exports the current todo list to a CSV, JSON Lines or iCalendar file
+	 * <p>
+	 * The file is written on a background thread so the window stays responsive. Tasks are copied from the table
+	 * on the event dispatch thread in batches, so changes made to the list during the export may or may not be included.
+	 * While the export runs the export button shows the progress and cancels the export when clicked,
+	 * a cancelled or failed export removes the unfinished file.
+	 * 
+	 * @param file File to export to
+	 * @param format TaskFormat format of the file
+	 */
+	private void exportFile(File file,final TaskFormat format)
+	{
+		//add the extension of the format to end of file name if missing
+		if (TaskFormat.fromFile(file)!=format)
+		file=new File(file.getAbsolutePath()+"."+format.getExtension());
+		final File exportFile=file;
+		
+		//loading a file would replace the table while the export is still reading it
+		loadButton.setEnabled(false);
+		exportButton.setText("Cancel export");
+		exportButton.setToolTipText("Cancel export");
+		
+		exportWorker=new SwingWorker<Void,Long>()
+		{
+			@Override
+			protected Void doInBackground() throws Exception
 			{
-				//add 't' or 'f' for checked state on one line, name on the next line and date on the third line
-				String output=((Boolean)todoTableModel.getValueAt(i,CHECK_COLUMN)?"t\n":"f\n")+(String)todoTableModel.getValueAt(i,NAME_COLUMN)+"\n"+dateFormat.format((Date)todoTableModel.getValueAt(i,DATE_COLUMN));
+				boolean finished=false;
+				TaskWriter writer=format.openWriter(exportFile);
+				try
+				{
+					long exported=0;
+					List<Task> batch;
+					while (!isCancelled()&&!(batch=copyTasks((int)exported,EXPORT_BATCH_SIZE)).isEmpty())
+					{
+						for(Task task:batch)
+						writer.write(task);
+						exported+=batch.size();
+						publish(exported);
+					}
+					writer.close();
+					finished=!isCancelled();
+				} finally
+				{
+					if (!finished)
+					{
+						closeQuietly(writer);
+						exportFile.delete();
+					}
+				}
+				return null;
+			}
+			
+			@Override
+			protected void process(List<Long> counts)
+			{
+				//progress published before a cancellation can still arrive after done(), when the export is over
+				if (isCancelled()||exportWorker!=this)
+				return;
 				
-				//add a new line after tasks always except for the last task, no new line at the end of file
-				if (i<todoTableModel.getRowCount()-1)
-				output+="\n";
+				long exported=counts.get(counts.size()-1);
+				exportButton.setText("Cancel export ("+exported+(exported==1?" task)":" tasks)"));
+			}
+			
+			@Override
+			protected void done()
+			{
+				exportWorker=null;
+				loadButton.setEnabled(importWorker==null);
+				exportButton.setText("Export tasks");
+				exportButton.setToolTipText("Export tasks");
 				
-				writer.write(output);
+				try
+				{
+					get();
+				} catch (CancellationException ex)
+				{
+					//cancelled by the user, nothing to report
+				} catch (Exception ex)
+				{
+					System.out.println(ex);
+					JOptionPane.showMessageDialog(ApplicationWindow.this,"Unable to export file.","Error",JOptionPane.WARNING_MESSAGE);
+				}
 			}
+		};
+		exportWorker.execute();
+	}
+	
+	/**
+	 * Copies tasks from the todo table on the event dispatch thread. Used by the export thread.
+	 * 
+	 * @param firstRow first row to copy
+	 * @param count maximum amount of rows to copy
+	 * @return List copied tasks, empty when firstRow is past the end of the table
+	 * @throws Exception if the copying is interrupted
+	 */
+	private List<Task> copyTasks(final int firstRow,final int count) throws Exception
+	{
+		final ArrayList<Task> tasks=new ArrayList<Task>(count);
+		SwingUtilities.invokeAndWait(new Runnable()
+		{
+			@Override
+			public void run()
+			{
+				for(int i=firstRow;i<todoTableModel.getRowCount()&&i<firstRow+count;i++)
+				tasks.add(toTask(i));
+			}
+		});
+		return tasks;
+	}
+	
+	/**
+	 * Writes all tasks of the todo table to a file one task at a time
+	 * 
+	 * @param file File to write
+	 * @param format TaskFormat format of the file
+	 * @return boolean true if the file was written
+	 */
+	private boolean writeFile(File file,TaskFormat format)
+	{
+		TaskWriter writer=null;
+		
+		try
+		{
+			writer=format.openWriter(file);
+			
+			//iterate through all entries in todo table
+			for(int i=0;i<todoTableModel.getRowCount();i++)
+			writer.write(toTask(i));
 			
 			writer.close();
-
-			setWindowTitle(file.getName());
+			return true;
 		} catch (Exception ex)
 		{
 			System.out.println(ex);
+			closeQuietly(writer);
 			JOptionPane.showMessageDialog(this,"Unable to save file.","Error",JOptionPane.WARNING_MESSAGE);
+			return false;
+		}
+	}
+	
+	/**
+	 * Appends imported rows to the end of the todo table with a single table event and schedules their reminders
+	 * @param rows rows to add, the list is emptied afterwards
+	 */
+	@SuppressWarnings("unchecked")
+	private void insertRows(List<Object[]> rows)
+	{
+		if (rows.isEmpty())
+		return;
+		
+		Vector<Vector<Object>> data=(Vector<Vector<Object>>)(Vector<?>)todoTableModel.getDataVector();
+		int firstRow=data.size();
+		for(Object[] row:rows)
+		{
+			Vector<Object> rowData=new Vector<Object>(row.length);
+			for(Object value:row)
+			rowData.add(value);
+			data.add(rowData);
+		}
+		rows.clear();
+		
+		todoTableModel.fireTableRowsInserted(firstRow,data.size()-1);
+		//imported tasks are new to the list, so like added tasks they are only reminded of if they are not already due
+		scheduleReminders(firstRow,data.size()-1,true);
+	}
+	
+	/**
+	 * Schedules reminders for the unchecked tasks of the given rows at once
+	 * @param firstRow first row to schedule
+	 * @param lastRow last row to schedule
+	 * @param upcomingOnly skip tasks whose date has already passed
+	 */
+	private void scheduleReminders(int firstRow,int lastRow,boolean upcomingOnly)
+	{
+		long now=System.currentTimeMillis();
+		ArrayList<Object> reminderKeys=new ArrayList<Object>();
+		ArrayList<String> reminderNames=new ArrayList<String>();
+		ArrayList<Date> reminderDates=new ArrayList<Date>();
+		for(int i=firstRow;i<=lastRow;i++)
+		{
+			if (!(Boolean)todoTableModel.getValueAt(i,CHECK_COLUMN)&&(!upcomingOnly||((Date)todoTableModel.getValueAt(i,DATE_COLUMN)).getTime()>now))
+			{
+				reminderKeys.add(getRowData(i));
+				reminderNames.add((String)todoTableModel.getValueAt(i,NAME_COLUMN));
+				reminderDates.add((Date)todoTableModel.getValueAt(i,DATE_COLUMN));
+			}
+		}
+		reminderScheduler.scheduleAll(reminderKeys,reminderNames,reminderDates);
+	}
+	
+	/**
+	 * Converts a task read from a file into a row of the todo table
+	 * @param task Task to convert
+	 * @return Object[] row data of the task
+	 */
+	private static Object[] toRow(Task task)
+	{
+		Object[] row=new Object[columnNames.length];
+		row[CHECK_COLUMN]=task.isDone();
+		row[NAME_COLUMN]=task.getName();
+		row[DATE_COLUMN]=task.getDate();
+		row[REPEAT_COLUMN]=task.getRecurrence();
+		return row;
+	}
+	
+	/**
+	 * Converts a row of the todo table into a task for writing to a file
+	 * @param row row of the task on the todo table
+	 * @return Task task of the row
+	 */
+	private Task toTask(int row)
+	{
+		return new Task((Boolean)todoTableModel.getValueAt(row,CHECK_COLUMN),(String)todoTableModel.getValueAt(row,NAME_COLUMN),(Date)todoTableModel.getValueAt(row,DATE_COLUMN),(Recurrence)todoTableModel.getValueAt(row,REPEAT_COLUMN));
+	}
+	
+	/**
+	 * Closes a task file after an error, ignoring any further errors
+	 * @param file task reader or writer to close, may be null
+	 */
+	private static void closeQuietly(Closeable file)
+	{
+		try
+		{
+			if (file!=null)
+			file.close();
+		} catch (Exception ex)
+		{
+			System.out.println(ex);
 		}
 	}
 	
@@ -381,21 +722,176 @@ public class ApplicationWindow extends JFrame implements ActionListener
 	/**
 	 * Adds a todo task to the table. Used by TaskDialog.
 	 * @param taskName name of the new task to add
+	 * @param taskRecurrence repeat interval of the new task
 	 */
-	public void eventAddTask(String taskName,Date taskDate)
+	public void eventAddTask(String taskName,Date taskDate,Recurrence taskRecurrence)
 	{
-		todoTableModel.addRow(new Object[]{false,taskName,taskDate});
+		todoTableModel.addRow(new Object[]{false,taskName,taskDate,taskRecurrence});
+		
+		//the user just entered the task, so only remind of it if it is not already due
+		int row=todoTableModel.getRowCount()-1;
+		if (taskDate.getTime()>System.currentTimeMillis())
+		reminderScheduler.schedule(getRowData(row),taskName,taskDate);
 	}
 	
 	/**
 	 * Edits an existing todo task at the given index. Used by TaskDialog.
 	 * @param index row of the task on the todo table
 	 * @param taskName name of the new task to add
+	 * @param taskRecurrence repeat interval of the task
 	 */
-	public void eventEditTask(int index,String taskName,Date taskDate)
+	public void eventEditTask(int index,String taskName,Date taskDate,Recurrence taskRecurrence)
 	{
+		boolean dateChanged=!taskDate.equals(todoTableModel.getValueAt(index,DATE_COLUMN));
+		
 		todoTable.setValueAt(taskName,index,NAME_COLUMN);
 		todoTable.setValueAt(taskDate,index,DATE_COLUMN);
+		todoTable.setValueAt(taskRecurrence,index,REPEAT_COLUMN);
+		
+		//completed tasks have no reminder
+		if ((Boolean)todoTableModel.getValueAt(index,CHECK_COLUMN))
+		return;
+		
+		Object key=getRowData(index);
+		if (!dateChanged)
+		{
+			//keep the pending reminder up to date with the new name, a reminder that has already been shown is not repeated
+			if (reminderScheduler.isScheduled(key))
+			reminderScheduler.schedule(key,taskName,taskDate);
+		}
+		else if (taskDate.getTime()>System.currentTimeMillis())
+		reminderScheduler.schedule(key,taskName,taskDate);
+		else //moved to a date that is already due, the user knows about it
+		reminderScheduler.cancel(key);
+	}
+	
+	/**
+	 * Event fired when the checked state of tasks changes. Removes reminders of completed tasks and
+	 * adds the next occurrence of completed repeating tasks.
+	 * @param firstRow first changed row
+	 * @param lastRow last changed row
+	 */
+	private void eventTaskChecked(int firstRow,int lastRow)
+	{
+		for(int i=firstRow;i<=lastRow;i++)
+		{
+			String taskName=(String)todoTableModel.getValueAt(i,NAME_COLUMN);
+			Date taskDate=(Date)todoTableModel.getValueAt(i,DATE_COLUMN);
+			
+			if (!(Boolean)todoTableModel.getValueAt(i,CHECK_COLUMN))
+			{
+				//an unchecked task is only reminded of again if it is not already due
+				if (taskDate.getTime()>System.currentTimeMillis())
+				reminderScheduler.schedule(getRowData(i),taskName,taskDate);
+				continue;
+			}
+			
+			reminderScheduler.cancel(getRowData(i));
+			
+			final Recurrence recurrence=(Recurrence)todoTableModel.getValueAt(i,REPEAT_COLUMN);
+			if (recurrence!=Recurrence.NONE)
+			{
+				//the completed task stops repeating so checking it again does not create another copy
+				todoTableModel.setValueAt(Recurrence.NONE,i,REPEAT_COLUMN);
+				
+				//add the next occurrence after the table has finished processing this change
+				final String nextName=taskName;
+				final Date nextDate=recurrence.next(taskDate,Recurrence.getToday());
+				SwingUtilities.invokeLater(new Runnable()
+				{
+					@Override
+					public void run()
+					{
+						eventAddTask(nextName,nextDate,recurrence);
+					}
+				});
+			}
+		}
+	}
+	
+	/**
+	 * Shows a desktop notification for tasks that have become due. Used by ReminderScheduler.
+	 * @param taskNames names of the due tasks
+	 */
+	@Override
+	public void remindersDue(List<String> taskNames)
+	{
+		//list only the first few tasks so the notification stays readable
+		String message="";
+		for(int i=0;i<taskNames.size()&&i<MAX_REMINDER_NAMES;i++)
+		message+=taskNames.get(i)+"\n";
+		if (taskNames.size()>MAX_REMINDER_NAMES)
+		message+="and "+(taskNames.size()-MAX_REMINDER_NAMES)+" more";
+		
+		String caption=(taskNames.size()==1?"Task is due":taskNames.size()+" tasks are due");
+		
+		try
+		{
+			//use the system tray if available, otherwise fall back to a message dialog
+			if (trayIcon==null&&SystemTray.isSupported())
+			{
+				Image image=new ImageIcon(getClass().getResource("resources/add.png")).getImage();
+				trayIcon=new TrayIcon(image,"Simple ToDo");
+				trayIcon.setImageAutoSize(true);
+				SystemTray.getSystemTray().add(trayIcon);
+			}
+			
+			if (trayIcon!=null)
+			{
+				trayIcon.displayMessage(caption,message.trim(),TrayIcon.MessageType.INFO);
+				return;
+			}
+		} catch (Exception ex)
+		{
+			System.out.println(ex);
+		}
+		
+		JOptionPane.showMessageDialog(this,message.trim(),caption,JOptionPane.INFORMATION_MESSAGE);
+	}
+	
+	/**
+	 * Returns the row object of the table model, used as the identity of a task in the reminder scheduler
+	 * as it stays the same when other rows are added or removed.
+	 * @param row row of the task on the todo table
+	 * @return Object row data of the task
+	 */
+	private Object getRowData(int row)
+	{
+		return ((Vector<?>)todoTableModel.getDataVector()).get(row);
+	}
+	
+	/**
+	 * Helper method to create file choosers for importing and exporting
+	 * @return JFileChooser chooser with a filter for each transfer format
+	 */
+	private JFileChooser makeTransferFileChooser()
+	{
+		JFileChooser chooser=new JFileChooser();
+		for(TaskFormat format:transferFormats)
+		chooser.addChoosableFileFilter(new FileNameExtensionFilter(format.getDescription(),format.getExtension()));
+		chooser.setFileFilter(chooser.getChoosableFileFilters()[1]);
+		return chooser;
+	}
+	
+	/**
+	 * Returns the transfer format for the file selected in a file chooser.
+	 * The extension of the file name is used if it is a transfer format, otherwise the selected filter decides.
+	 * @param chooser JFileChooser created by makeTransferFileChooser()
+	 * @return TaskFormat selected format, CSV if neither the file name nor the filter match a transfer format
+	 */
+	private TaskFormat getSelectedFormat(JFileChooser chooser)
+	{
+		TaskFormat fileFormat=TaskFormat.fromFile(chooser.getSelectedFile());
+		for(TaskFormat format:transferFormats)
+		if (format==fileFormat)
+		return format;
+		
+		FileFilter filter=chooser.getFileFilter();
+		for(TaskFormat format:transferFormats)
+		if (filter instanceof FileNameExtensionFilter&&((FileNameExtensionFilter)filter).getExtensions()[0].equals(format.getExtension()))
+		return format;
+		
+		return TaskFormat.CSV;
 	}
 	
 	/**
@@ -418,6 +914,14 @@ public class ApplicationWindow extends JFrame implements ActionListener
 		JButton button=new JButton();
 		button.setToolTipText(hint);
 		button.addActionListener(this);
+		
+		//buttons without an icon only show their hint
+		if (icon==null)
+		{
+			button.setText(hint);
+			return button;
+		}
+		
 		try
 		{
 			button.setIcon(new ImageIcon(getClass().getResource(icon)));
@@ -0,0 +1,111 @@
+/**
+ * Simple-ToDo is a simple todo list application capable of marking and saving todo lists
+ *
+ * @author  Matti Karjalainen
+ * @version 1.0
+ * @since   2017-10-02
+ */
+
+package com.zas.simpletodo;
+
+import java.util.Calendar;
+import java.util.Date;
+import java.util.GregorianCalendar;
+
+/**
+ * Repeat interval of a task.
+ * <p>
+ * A completed repeating task is regenerated with its date moved forward by the interval.
+ *
+ */
+public enum Recurrence
+{
+	NONE("","None",0),
+	DAILY("daily","Daily",Calendar.DAY_OF_MONTH),
+	WEEKLY("weekly","Weekly",Calendar.WEEK_OF_YEAR),
+	MONTHLY("monthly","Monthly",Calendar.MONTH);
+
+	private final String key,label;
+	private final int calendarField;
+
+	private Recurrence(String key,String label,int calendarField)
+	{
+		this.key=key;
+		this.label=label;
+		this.calendarField=calendarField;
+	}
+
+	/**
+	 * Returns the keyword used for this interval in saved files
+	 * @return String keyword, empty for NONE
+	 */
+	public String getKey()
+	{
+		return key;
+	}
+
+	/**
+	 * Finds the interval for a keyword used in saved files
+	 * @param key String keyword to look up
+	 * @return Recurrence matching interval or null if the keyword is unknown
+	 */
+	public static Recurrence fromKey(String key)
+	{
+		for (Recurrence recurrence:values())
+		if (recurrence.key.equals(key))
+		return recurrence;
+
+		return null;
+	}
+
+	/**
+	 * Calculates the next date for a repeating task, skipping past dates so the regenerated task is not already overdue
+	 * @param date Date current date of the task
+	 * @param today Date earliest date allowed for the result
+	 * @return Date next date of the task or null for NONE
+	 */
+	public Date next(Date date,Date today)
+	{
+		if (this==NONE)
+		return null;
+
+		Calendar calendar=new GregorianCalendar();
+		calendar.setTime(date);
+
+		//monthly steps are counted from the original date so the 31st does not drift to the 28th after february
+		int steps=0;
+		do
+		{
+			steps++;
+			calendar.setTime(date);
+			calendar.add(calendarField,steps);
+		} while (calendar.getTime().before(today));
+
+		return calendar.getTime();
+	}
+
+	/**
+	 * Returns the current date without the time of day
+	 * @return Date start of today
+	 */
+	public static Date getToday()
+	{
+		Calendar calendar=new GregorianCalendar();
+		return new GregorianCalendar(calendar.get(Calendar.YEAR),calendar.get(Calendar.MONTH),calendar.get(Calendar.DAY_OF_MONTH)).getTime();
+	}
+
+	@Override
+	public String toString()
+	{
+		return (this==NONE?"":label);
+	}
+
+	/**
+	 * Returns the name shown for the interval in selection lists
+	 * @return String name of the interval
+	 */
+	public String getLabel()
+	{
+		return label;
+	}
+}
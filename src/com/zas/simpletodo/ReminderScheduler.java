@@ -0,0 +1,237 @@
+/**
+ * Simple-ToDo is a simple todo list application capable of marking and saving todo lists
+ *
+ * @author  Matti Karjalainen
+ * @version 1.0
+ * @since   2017-10-02
+ */
+
+package com.zas.simpletodo;
+
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.PriorityQueue;
+
+import javax.swing.Timer;
+
+/**
+ * Schedules reminders for the due dates of tasks.
+ * <p>
+ * Pending reminders are kept in a priority queue ordered by due time and a single timer is armed for the earliest one,
+ * so nothing runs while waiting and the task table is never scanned. Tasks are identified by a key object (the row of
+ * the table model) and are updated one at a time as they are added, edited and deleted.
+ * Replaced and cancelled reminders are left in the queue and skipped when they reach the head.
+ * All methods must be called from the event dispatch thread.
+ *
+ */
+public class ReminderScheduler implements ActionListener
+{
+	//longest time the timer sleeps before rechecking the queue, keeps reminders correct if the system clock changes
+	private static final int MAX_TIMER_DELAY=60*60*1000;
+
+	/**
+	 * Receiver of the reminders that have become due
+	 */
+	public interface ReminderListener
+	{
+		/**
+		 * Called when one or more tasks have become due
+		 * @param taskNames List names of the due tasks
+		 */
+		void remindersDue(List<String> taskNames);
+	}
+
+	/**
+	 * One scheduled reminder in the queue
+	 */
+	private static class Reminder implements Comparable<Reminder>
+	{
+		private final Object key;
+		private final String name;
+		private final long due;
+		private boolean cancelled;
+
+		private Reminder(Object key,String name,long due)
+		{
+			this.key=key;
+			this.name=name;
+			this.due=due;
+		}
+
+		@Override
+		public int compareTo(Reminder other)
+		{
+			return Long.compare(due,other.due);
+		}
+	}
+
+	private PriorityQueue<Reminder> queue;
+	private IdentityHashMap<Object,Reminder> scheduled;
+	private ReminderListener listener;
+	private Timer timer;
+
+	/**
+	 * Constructor, creates an empty scheduler
+	 *
+	 * @param listener ReminderListener receiver of due reminders
+	 */
+	public ReminderScheduler(ReminderListener listener)
+	{
+		this.listener=listener;
+		queue=new PriorityQueue<Reminder>();
+		scheduled=new IdentityHashMap<Object,Reminder>();
+		timer=new Timer(0,this);
+		timer.setRepeats(false);
+	}
+
+	/**
+	 * Schedules or reschedules the reminder of a task, replacing any earlier reminder of the same task
+	 *
+	 * @param key Object identity of the task
+	 * @param name String name of the task
+	 * @param due Date due date of the task
+	 */
+	public void schedule(Object key,String name,Date due)
+	{
+		Reminder reminder=new Reminder(key,name,due.getTime());
+		Reminder previous=scheduled.put(key,reminder);
+		if (previous!=null)
+		previous.cancelled=true;
+
+		queue.add(reminder);
+		compact();
+		updateTimer();
+	}
+
+	/**
+	 * Removes the reminder of a task if it has one
+	 *
+	 * @param key Object identity of the task
+	 */
+	public void cancel(Object key)
+	{
+		Reminder previous=scheduled.remove(key);
+		if (previous!=null)
+		{
+			previous.cancelled=true;
+			compact();
+			updateTimer();
+		}
+	}
+
+	/**
+	 * Checks if a task has a reminder that has not been shown yet
+	 *
+	 * @param key Object identity of the task
+	 * @return boolean true if the task has a pending reminder
+	 */
+	public boolean isScheduled(Object key)
+	{
+		return scheduled.containsKey(key);
+	}
+
+	/**
+	 * Removes all reminders
+	 */
+	public void clear()
+	{
+		queue.clear();
+		scheduled.clear();
+		timer.stop();
+	}
+
+	/**
+	 * Schedules the reminders of many tasks at once, used when task lists are loaded or imported.
+	 * Large batches rebuild the queue in one pass instead of inserting the reminders one by one.
+	 *
+	 * @param keys List identities of the tasks
+	 * @param names List names of the tasks
+	 * @param dues List due dates of the tasks
+	 */
+	public void scheduleAll(List<?> keys,List<String> names,List<Date> dues)
+	{
+		ArrayList<Reminder> reminders=new ArrayList<Reminder>(keys.size());
+		for(int i=0;i<keys.size();i++)
+		{
+			Reminder reminder=new Reminder(keys.get(i),names.get(i),dues.get(i).getTime());
+			Reminder previous=scheduled.put(keys.get(i),reminder);
+			if (previous!=null)
+			previous.cancelled=true;
+			reminders.add(reminder);
+		}
+
+		if (reminders.size()>queue.size())
+		{
+			reminders.addAll(queue);
+			queue=new PriorityQueue<Reminder>(reminders);
+		}
+		else
+		queue.addAll(reminders);
+
+		compact();
+		updateTimer();
+	}
+
+	/**
+	 * Timer event, collects all reminders that are due and passes them to the listener
+	 *
+	 * @param event Received event
+	 */
+	@Override
+	public void actionPerformed(ActionEvent event)
+	{
+		long now=System.currentTimeMillis();
+		ArrayList<String> due=new ArrayList<String>();
+
+		while (!queue.isEmpty()&&queue.peek().due<=now)
+		{
+			Reminder reminder=queue.poll();
+			if (reminder.cancelled)
+			continue;
+
+			//a reminder fires only once, the task has to be edited to schedule it again
+			scheduled.remove(reminder.key);
+			due.add(reminder.name);
+		}
+
+		updateTimer();
+
+		if (!due.isEmpty())
+		listener.remindersDue(due);
+	}
+
+	/**
+	 * Arms the timer for the earliest live reminder or stops it when there is none
+	 */
+	private void updateTimer()
+	{
+		//drop cancelled reminders from the head so the timer is not armed for them
+		while (!queue.isEmpty()&&queue.peek().cancelled)
+		queue.poll();
+
+		if (queue.isEmpty())
+		{
+			timer.stop();
+			return;
+		}
+
+		long delay=Math.max(0,Math.min(queue.peek().due-System.currentTimeMillis(),MAX_TIMER_DELAY));
+		timer.setInitialDelay((int)delay);
+		timer.restart();
+	}
+
+	/**
+	 * Rebuilds the queue without cancelled reminders once they outnumber the live ones
+	 */
+	private void compact()
+	{
+		if (queue.size()<=2*scheduled.size()+16)
+		return;
+
+		queue=new PriorityQueue<Reminder>(scheduled.values());
+	}
+}
@@ -0,0 +1,71 @@
+/**
+ * Simple-ToDo is a simple todo list application capable of marking and saving todo lists
+ *
+ * @author  Matti Karjalainen
+ * @version 1.0
+ * @since   2017-10-02
+ */
+
+package com.zas.simpletodo;
+
+import java.util.Date;
+
+/**
+ * A single todo task as it is passed between the task list files and the todo table.
+ *
+ */
+public class Task
+{
+	private final boolean done;
+	private final String name;
+	private final Date date;
+	private final Recurrence recurrence;
+
+	/**
+	 * Constructor, creates a task with the given values
+	 *
+	 * @param done boolean checked state of the task
+	 * @param name String name of the task
+	 * @param date Date date of the task
+	 * @param recurrence Recurrence repeat interval of the task
+	 */
+	public Task(boolean done,String name,Date date,Recurrence recurrence)
+	{
+		this.done=done;
+		this.name=name;
+		this.date=date;
+		this.recurrence=recurrence;
+	}
+
+	/**
+	 * @return boolean checked state of the task
+	 */
+	public boolean isDone()
+	{
+		return done;
+	}
+
+	/**
+	 * @return String name of the task
+	 */
+	public String getName()
+	{
+		return name;
+	}
+
+	/**
+	 * @return Date date of the task
+	 */
+	public Date getDate()
+	{
+		return date;
+	}
+
+	/**
+	 * @return Recurrence repeat interval of the task
+	 */
+	public Recurrence getRecurrence()
+	{
+		return recurrence;
+	}
+}
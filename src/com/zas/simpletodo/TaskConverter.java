@@ -0,0 +1,90 @@
+/**
+ * Simple-ToDo is a simple todo list application capable of marking and saving todo lists
+ *
+ * @author  Matti Karjalainen
+ * @version 1.0
+ * @since   2017-10-02
+ */
+
+package com.zas.simpletodo;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Command line tool for converting task lists between file formats without opening the application window.
+ * <p>
+ * Formats are chosen from the file name extensions: .todo, .csv, .jsonl or .ics.
+ * Tasks are copied one at a time so files of any size can be converted.
+ *
+ */
+public class TaskConverter
+{
+	/**
+	 * Copies all tasks from one file to another
+	 *
+	 * @param input File to read
+	 * @param inputFormat TaskFormat format of the input file
+	 * @param output File to write, replaced if it exists
+	 * @param outputFormat TaskFormat format of the output file
+	 * @return long amount of copied tasks
+	 * @throws IOException if reading or writing fails, the input file format does not match or both are the same file
+	 */
+	public static long convert(File input,TaskFormat inputFormat,File output,TaskFormat outputFormat) throws IOException
+	{
+		//opening the output would empty the input before it is read
+		if (input.getCanonicalFile().equals(output.getCanonicalFile()))
+		throw new IOException("Input and output are the same file");
+
+		long count=0;
+		TaskReader reader=inputFormat.openReader(input);
+		try
+		{
+			TaskWriter writer=outputFormat.openWriter(output);
+			try
+			{
+				Task task;
+				while ((task=reader.read())!=null)
+				{
+					writer.write(task);
+					count++;
+				}
+			} finally
+			{
+				writer.close();
+			}
+		} finally
+		{
+			reader.close();
+		}
+
+		return count;
+	}
+
+	public static void main(String[] args)
+	{
+		if (args.length!=2)
+		{
+			System.err.println("Usage: java com.zas.simpletodo.TaskConverter <input file> <output file>");
+			System.exit(2);
+		}
+
+		File input=new File(args[0]),output=new File(args[1]);
+		TaskFormat inputFormat=TaskFormat.fromFile(input),outputFormat=TaskFormat.fromFile(output);
+		if (inputFormat==null||outputFormat==null)
+		{
+			System.err.println("Unknown file format, use .todo, .csv, .jsonl or .ics files.");
+			System.exit(2);
+		}
+
+		try
+		{
+			long count=convert(input,inputFormat,output,outputFormat);
+			System.out.println("Converted "+count+(count==1?" task.":" tasks."));
+		} catch (IOException ex)
+		{
+			System.err.println("Unable to convert file: "+ex.getMessage());
+			System.exit(1);
+		}
+	}
+}
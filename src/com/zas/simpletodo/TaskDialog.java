@@ -19,6 +19,7 @@ import java.util.Date;
 import java.util.GregorianCalendar;
 
 import javax.swing.JButton;
+import javax.swing.JComboBox;
 import javax.swing.JDialog;
 import javax.swing.JLabel;
 import javax.swing.JOptionPane;
@@ -41,6 +42,7 @@ public class TaskDialog extends JDialog implements ActionListener, ChangeListene
 	private JButton addButton,cancelButton;
 	private JTextField inputName;
 	private JSpinner inputDay,inputMonth,inputYear;
+	private JComboBox<String> inputRepeat;
 	private SpinnerNumberModel daySpinnerModel;
 	private ApplicationWindow parent;
 	private boolean editingExisting;
@@ -58,7 +60,7 @@ public class TaskDialog extends JDialog implements ActionListener, ChangeListene
 		editingIndex=-1;
 		editingExisting=false;
 		
-		createGUI("",new Date());
+		createGUI("",new Date(),Recurrence.NONE);
 	}
 
 	/**
@@ -68,23 +70,25 @@ public class TaskDialog extends JDialog implements ActionListener, ChangeListene
 	 * @param editingIndex int currently edited todo entry on the main window
 	 * @param currentName String name of the edited task
 	 * @param currentDate Date date of the edited task
+	 * @param currentRecurrence Recurrence repeat interval of the edited task
 	 */
-	public TaskDialog(ApplicationWindow parent,int editingIndex,String currentName,Date currentDate)
+	public TaskDialog(ApplicationWindow parent,int editingIndex,String currentName,Date currentDate,Recurrence currentRecurrence)
 	{
 		super(parent,true);
 		this.parent=parent;
 		this.editingIndex=editingIndex;
 		editingExisting=true;
 		
-		createGUI(currentName,currentDate);
+		createGUI(currentName,currentDate,currentRecurrence);
 	}
 
 	/**
 	 * Create all visual elements in the dialog window
 	 * 
 	 * @param name String name given ready for the user in the input field
+	 * @param recurrence Recurrence repeat interval selected in the repeat field
 	 */
-	private void createGUI(String name,Date date)
+	private void createGUI(String name,Date date,Recurrence recurrence)
 	{
 		
 		setTitle(editingExisting?"Edit task":"Add task");
@@ -129,6 +133,16 @@ public class TaskDialog extends JDialog implements ActionListener, ChangeListene
 		inputYear.setPreferredSize(new Dimension(70,(int)inputYear.getPreferredSize().getHeight()));
 		inputYear.addChangeListener(this);
 		
+		//repeat, items are in the same order as Recurrence values
+		labelPanel.add(makeLabel("Repeat",90));
+		Recurrence[] recurrences=Recurrence.values();
+		String[] repeatLabels=new String[recurrences.length];
+		for(int i=0;i<recurrences.length;i++)
+		repeatLabels[i]=recurrences[i].getLabel();
+		inputRepeat=new JComboBox<String>(repeatLabels);
+		inputRepeat.setPreferredSize(new Dimension(90,(int)inputRepeat.getPreferredSize().getHeight()));
+		inputRepeat.setSelectedIndex(recurrence.ordinal());
+		
 		addButton=new JButton(editingExisting?"OK":"Add");
 		addButton.addActionListener(this);
 		cancelButton=new JButton("Cancel");
@@ -148,6 +162,7 @@ public class TaskDialog extends JDialog implements ActionListener, ChangeListene
 		inputPanel.add(inputDay);
 		inputPanel.add(inputMonth);
 		inputPanel.add(inputYear);
+		inputPanel.add(inputRepeat);
 
 		content.add(labelPanel,BorderLayout.PAGE_START);
 		content.add(inputPanel,BorderLayout.CENTER);
@@ -182,11 +197,12 @@ public class TaskDialog extends JDialog implements ActionListener, ChangeListene
 				try
 				{
 					taskDate=new GregorianCalendar((int)inputYear.getValue(),(int)inputMonth.getValue()-1,(int)inputDay.getValue()).getTime();
+					Recurrence taskRecurrence=Recurrence.values()[inputRepeat.getSelectedIndex()];
 					
 					if (editingExisting)//call main window to accept edit
-					parent.eventEditTask(editingIndex,inputName.getText(),taskDate);
+					parent.eventEditTask(editingIndex,inputName.getText(),taskDate,taskRecurrence);
 					else//call main window to add the task
-					parent.eventAddTask(inputName.getText(),taskDate);
+					parent.eventAddTask(inputName.getText(),taskDate,taskRecurrence);
 				} catch (Exception ex)
 				{
 					System.out.println(ex.getStackTrace());
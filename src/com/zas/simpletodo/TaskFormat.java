@@ -0,0 +1,127 @@
+/**
+ * Simple-ToDo is a simple todo list application capable of marking and saving todo lists
+ *
+ * @author  Matti Karjalainen
+ * @version 1.0
+ * @since   2017-10-02
+ */
+
+package com.zas.simpletodo;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * File formats that task lists can be saved to and read from.
+ * <p>
+ * Files are read and written one task at a time through a fixed size buffer,
+ * so the size of the file does not affect the memory used while reading or writing it.
+ *
+ */
+public enum TaskFormat
+{
+	SIMPLE_TODO("Simple ToDo files","todo"),
+	CSV("CSV files","csv"),
+	JSON_LINES("JSON Lines files","jsonl"),
+	ICALENDAR("iCalendar files","ics");
+
+	//size of the read and write buffers in characters
+	private static final int BUFFER_SIZE=64*1024;
+
+	private final String description,extension;
+
+	private TaskFormat(String description,String extension)
+	{
+		this.description=description;
+		this.extension=extension;
+	}
+
+	/**
+	 * @return String description of the format for file choosers
+	 */
+	public String getDescription()
+	{
+		return description;
+	}
+
+	/**
+	 * @return String file name extension of the format without the dot
+	 */
+	public String getExtension()
+	{
+		return extension;
+	}
+
+	/**
+	 * Finds the format of a file from the extension of its name
+	 * @param file File to check
+	 * @return TaskFormat format of the file or null if the extension is unknown
+	 */
+	public static TaskFormat fromFile(File file)
+	{
+		String name=file.getName().toLowerCase();
+		for (TaskFormat format:values())
+		if (name.endsWith("."+format.extension))
+		return format;
+
+		return null;
+	}
+
+	/**
+	 * Opens a file for reading tasks in this format
+	 * @param file File to read
+	 * @return TaskReader reader returning the tasks of the file one by one
+	 * @throws IOException if the file can not be opened
+	 */
+	public TaskReader openReader(File file) throws IOException
+	{
+		//simple todo files have always used the default character set
+		BufferedReader reader=new BufferedReader(this==SIMPLE_TODO?new FileReader(file):new InputStreamReader(new FileInputStream(file),StandardCharsets.UTF_8),BUFFER_SIZE);
+
+		switch (this)
+		{
+			default:
+			case SIMPLE_TODO:
+				return new TaskReader.SimpleTodo(reader);
+			case CSV:
+				return new TaskReader.Csv(reader);
+			case JSON_LINES:
+				return new TaskReader.JsonLines(reader);
+			case ICALENDAR:
+				return new TaskReader.ICalendar(reader);
+		}
+	}
+
+	/**
+	 * Opens a file for writing tasks in this format, replacing any existing content
+	 * @param file File to write
+	 * @return TaskWriter writer taking the tasks one by one
+	 * @throws IOException if the file can not be opened
+	 */
+	public TaskWriter openWriter(File file) throws IOException
+	{
+		BufferedWriter writer=new BufferedWriter(this==SIMPLE_TODO?new FileWriter(file):new OutputStreamWriter(new FileOutputStream(file),StandardCharsets.UTF_8),BUFFER_SIZE);
+
+		switch (this)
+		{
+			default:
+			case SIMPLE_TODO:
+				return new TaskWriter.SimpleTodo(writer);
+			case CSV:
+				return new TaskWriter.Csv(writer);
+			case JSON_LINES:
+				return new TaskWriter.JsonLines(writer);
+			case ICALENDAR:
+				return new TaskWriter.ICalendar(writer);
+		}
+	}
+}
@@ -0,0 +1,576 @@
+/**
+ * Simple-ToDo is a simple todo list application capable of marking and saving todo lists
+ *
+ * @author  Matti Karjalainen
+ * @version 1.0
+ * @since   2017-10-02
+ */
+
+package com.zas.simpletodo;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.text.DateFormat;
+import java.text.ParsePosition;
+import java.text.SimpleDateFormat;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.TimeZone;
+
+/**
+ * Reads tasks from a file one at a time.
+ * <p>
+ * Created by {@link TaskFormat#openReader(java.io.File)}.
+ *
+ */
+public abstract class TaskReader implements Closeable
+{
+	protected final BufferedReader reader;
+	protected final DateFormat dateFormat=new SimpleDateFormat("yyyy-MM-dd",Locale.ENGLISH);
+
+	protected TaskReader(BufferedReader reader)
+	{
+		this.reader=reader;
+		dateFormat.setLenient(false);
+	}
+
+	/**
+	 * Reads the next task
+	 * @return Task next task or null at the end of the file
+	 * @throws IOException if reading fails or the file format does not match
+	 */
+	public abstract Task read() throws IOException;
+
+	@Override
+	public void close() throws IOException
+	{
+		reader.close();
+	}
+
+	/**
+	 * Parses a date using the given format, the whole text has to match
+	 */
+	protected static Date parseDate(DateFormat format,String text) throws IOException
+	{
+		ParsePosition position=new ParsePosition(0);
+		Date date=format.parse(text,position);
+		if (date==null||position.getIndex()!=text.length())
+		throw new IOException("File format does not match");
+		return date;
+	}
+
+	/**
+	 * Finds the repeat interval for a keyword, empty or missing keywords mean the task does not repeat
+	 */
+	protected static Recurrence parseRecurrence(String key) throws IOException
+	{
+		if (key==null)
+		return Recurrence.NONE;
+
+		Recurrence recurrence=Recurrence.fromKey(key.toLowerCase(Locale.ENGLISH));
+		if (recurrence==null)
+		throw new IOException("File format does not match");
+		return recurrence;
+	}
+
+	/**
+	 * Reader for the three line format used by the application itself
+	 * <p>
+	 * First line contains 't' or 'f' for the checked state, next line the name of the task and the third the date.
+	 * The date of a repeating task is followed by a space and the repeat interval, e.g. "2017-10-02 weekly".
+	 */
+	static class SimpleTodo extends TaskReader
+	{
+		SimpleTodo(BufferedReader reader)
+		{
+			super(reader);
+		}
+
+		@Override
+		public Task read() throws IOException
+		{
+			String checked,name,date;
+			if ((checked=reader.readLine())==null)
+			return null;
+			if ((name=reader.readLine())==null||(date=reader.readLine())==null)
+			throw new IOException("File format does not match");
+
+			boolean done;
+			if (checked.equals("t"))
+			done=true;
+			else if (checked.equals("f"))
+			done=false;
+			else
+			throw new IOException("File format does not match");
+
+			//get date and the optional repeat interval after it
+			String[] dateParts=date.split(" ",2);
+			return new Task(done,name,parseDate(dateFormat,dateParts[0]),parseRecurrence(dateParts.length>1?dateParts[1]:null));
+		}
+	}
+
+	/**
+	 * Reader for comma separated values with the columns done, task, date and repeat.
+	 * A header row is skipped and quoted fields may contain commas, quotes and line breaks as described in RFC 4180.
+	 */
+	static class Csv extends TaskReader
+	{
+		private static final int FIELDS=4;
+
+		private final String[] fields=new String[FIELDS];
+		private final StringBuilder field=new StringBuilder();
+		private boolean first=true;
+
+		Csv(BufferedReader reader)
+		{
+			super(reader);
+		}
+
+		@Override
+		public Task read() throws IOException
+		{
+			while (true)
+			{
+				int count=readRecord();
+				if (count<0)
+				return null;
+
+				//drop the byte order mark some programs, such as Excel, write at the start of UTF-8 files
+				if (first&&fields[0].startsWith("\uFEFF"))
+				fields[0]=fields[0].substring(1);
+
+				//skip header row and blank lines
+				String checked=fields[0].trim();
+				boolean header=first&&checked.equalsIgnoreCase("done");
+				first=false;
+				if (header||(count==1&&fields[0].isEmpty()))
+				continue;
+
+				if (count<3)
+				throw new IOException("File format does not match");
+
+				boolean done;
+				if (checked.equalsIgnoreCase("true"))
+				done=true;
+				else if (checked.equalsIgnoreCase("false"))
+				done=false;
+				else
+				throw new IOException("File format does not match");
+
+				return new Task(done,fields[1],parseDate(dateFormat,fields[2].trim()),parseRecurrence(count>3&&!fields[3].isEmpty()?fields[3].trim():null));
+			}
+		}
+
+		/**
+		 * Reads the fields of the next record into the field array
+		 * @return int amount of fields in the record or -1 at the end of the file
+		 */
+		private int readRecord() throws IOException
+		{
+			int c=reader.read();
+			if (c<0)
+			return -1;
+
+			int count=0;
+			boolean quoted=false;
+			field.setLength(0);
+			while (true)
+			{
+				if (quoted)
+				{
+					if (c<0)
+					throw new IOException("File format does not match");
+					if (c=='"')
+					{
+						//a doubled quote is a quote character, a single one ends the quoted part
+						reader.mark(1);
+						if (reader.read()=='"')
+						field.append('"');
+						else
+						{
+							reader.reset();
+							quoted=false;
+						}
+					}
+					else
+					field.append((char)c);
+				}
+				else if (c=='"')
+				quoted=true;
+				else if (c==','||c=='\n'||c=='\r'||c<0)
+				{
+					if (count==FIELDS)
+					throw new IOException("File format does not match");
+					fields[count++]=field.toString();
+					field.setLength(0);
+
+					if (c!=',')
+					{
+						//treat \r\n as a single line break
+						if (c=='\r')
+						{
+							reader.mark(1);
+							if (reader.read()!='\n')
+							reader.reset();
+						}
+						return count;
+					}
+				}
+				else
+				field.append((char)c);
+
+				c=reader.read();
+			}
+		}
+	}
+
+	/**
+	 * Reader for JSON Lines with one object per line containing the keys done, task, date and repeat.
+	 * Only flat objects with string, boolean and null values are accepted.
+	 */
+	static class JsonLines extends TaskReader
+	{
+		private final HashMap<String,Object> values=new HashMap<String,Object>();
+		private final StringBuilder text=new StringBuilder();
+		private String line;
+		private int position;
+
+		JsonLines(BufferedReader reader)
+		{
+			super(reader);
+		}
+
+		@Override
+		public Task read() throws IOException
+		{
+			//skip blank lines
+			do
+			{
+				if ((line=reader.readLine())==null)
+				return null;
+			} while (line.trim().isEmpty());
+
+			parseObject();
+
+			Object done=values.get("done");
+			Object name=values.get("task");
+			Object date=values.get("date");
+			Object repeat=values.get("repeat");
+			if (!(name instanceof String)||!(date instanceof String)||(done!=null&&!(done instanceof Boolean))||(repeat!=null&&!(repeat instanceof String)))
+			throw new IOException("File format does not match");
+
+			return new Task(Boolean.TRUE.equals(done),(String)name,parseDate(dateFormat,(String)date),parseRecurrence((String)repeat));
+		}
+
+		private void parseObject() throws IOException
+		{
+			values.clear();
+			position=0;
+
+			expect('{');
+			if (peek()=='}')
+			{
+				position++;
+				return;
+			}
+			while (true)
+			{
+				String key=parseString();
+				expect(':');
+				values.put(key,parseValue());
+
+				char c=next();
+				if (c=='}')
+				break;
+				if (c!=',')
+				throw new IOException("File format does not match");
+			}
+			if (peek()!=0)
+			throw new IOException("File format does not match");
+		}
+
+		private Object parseValue() throws IOException
+		{
+			char c=peek();
+			if (c=='"')
+			return parseString();
+			if (line.startsWith("true",position))
+			{
+				position+=4;
+				return Boolean.TRUE;
+			}
+			if (line.startsWith("false",position))
+			{
+				position+=5;
+				return Boolean.FALSE;
+			}
+			if (line.startsWith("null",position))
+			{
+				position+=4;
+				return null;
+			}
+			throw new IOException("File format does not match");
+		}
+
+		private String parseString() throws IOException
+		{
+			expect('"');
+			text.setLength(0);
+			while (true)
+			{
+				if (position>=line.length())
+				throw new IOException("File format does not match");
+				char c=line.charAt(position++);
+				if (c=='"')
+				return text.toString();
+				if (c!='\\')
+				{
+					text.append(c);
+					continue;
+				}
+
+				if (position>=line.length())
+				throw new IOException("File format does not match");
+				c=line.charAt(position++);
+				switch (c)
+				{
+					case '"':
+					case '\\':
+					case '/':
+						text.append(c);
+						break;
+					case 'b':
+						text.append('\b');
+						break;
+					case 'f':
+						text.append('\f');
+						break;
+					case 'n':
+						text.append('\n');
+						break;
+					case 'r':
+						text.append('\r');
+						break;
+					case 't':
+						text.append('\t');
+						break;
+					case 'u':
+						if (position+4>line.length())
+						throw new IOException("File format does not match");
+						try
+						{
+							text.append((char)Integer.parseInt(line.substring(position,position+4),16));
+						} catch (NumberFormatException ex)
+						{
+							throw new IOException("File format does not match");
+						}
+						position+=4;
+						break;
+					default:
+						throw new IOException("File format does not match");
+				}
+			}
+		}
+
+		/**
+		 * Returns the next character that is not white space without consuming it, or 0 at the end of the line
+		 */
+		private char peek()
+		{
+			while (position<line.length()&&Character.isWhitespace(line.charAt(position)))
+			position++;
+			return (position<line.length()?line.charAt(position):0);
+		}
+
+		private char next()
+		{
+			char c=peek();
+			if (position<line.length())
+			position++;
+			return c;
+		}
+
+		private void expect(char expected) throws IOException
+		{
+			if (next()!=expected)
+			throw new IOException("File format does not match");
+		}
+	}
+
+	/**
+	 * Reader for VTODO components of an iCalendar file as described in RFC 5545.
+	 * <p>
+	 * The name is taken from SUMMARY, the date from DUE or DTSTART and the repeat interval from the FREQ of RRULE.
+	 * Tasks without a date are given the current date. Other components and properties are ignored.
+	 */
+	static class ICalendar extends TaskReader
+	{
+		private final DateFormat dueFormat=new SimpleDateFormat("yyyyMMdd",Locale.ENGLISH);
+		private final DateFormat utcFormat=new SimpleDateFormat("yyyyMMdd'T'HHmmss'Z'",Locale.ENGLISH);
+		private final StringBuilder unfolded=new StringBuilder();
+
+		ICalendar(BufferedReader reader)
+		{
+			super(reader);
+			dueFormat.setLenient(false);
+			utcFormat.setLenient(false);
+			utcFormat.setTimeZone(TimeZone.getTimeZone("UTC"));
+		}
+
+		@Override
+		public Task read() throws IOException
+		{
+			String line;
+
+			//find the start of the next task
+			do
+			{
+				if ((line=readLine())==null)
+				return null;
+			} while (!line.equalsIgnoreCase("BEGIN:VTODO"));
+
+			String name="",due=null,start=null,repeat=null;
+			boolean done=false;
+			int depth=0;
+			while (true)
+			{
+				if ((line=readLine())==null)
+				throw new IOException("File format does not match");
+
+				//split the content line into name and value, parameters are only needed for finding the value
+				int colon=findValueSeparator(line);
+				if (colon<0)
+				continue;
+				String value=line.substring(colon+1);
+				int nameEnd=line.indexOf(';');
+				String property=line.substring(0,(nameEnd>=0&&nameEnd<colon?nameEnd:colon)).toUpperCase(Locale.ENGLISH);
+
+				//skip properties of nested components such as alarms
+				if (property.equals("BEGIN"))
+				depth++;
+				else if (property.equals("END"))
+				{
+					if (depth--==0)
+					break;
+				}
+				else if (depth>0)
+				continue;
+				else if (property.equals("SUMMARY"))
+				name=unescapeText(value);
+				else if (property.equals("DUE"))
+				due=value;
+				else if (property.equals("DTSTART"))
+				start=value;
+				else if (property.equals("COMPLETED"))
+				done=true;
+				else if (property.equals("STATUS"))
+				done=done||value.equalsIgnoreCase("COMPLETED");
+				else if (property.equals("RRULE"))
+				repeat=parseFrequency(value);
+			}
+
+			String date=(due!=null?due:start);
+			return new Task(done,name,date!=null?parseDueDate(date):Recurrence.getToday(),parseRecurrence(repeat));
+		}
+
+		/**
+		 * Reads the next content line, joining folded continuation lines
+		 * @return String unfolded line or null at the end of the file
+		 */
+		private String readLine() throws IOException
+		{
+			String line=reader.readLine();
+			if (line==null)
+			return null;
+
+			unfolded.setLength(0);
+			unfolded.append(line);
+			while (true)
+			{
+				//the read may also skip the line feed of a \r\n left by readLine
+				reader.mark(2);
+				int c=reader.read();
+				if (c!=' '&&c!='\t')
+				{
+					if (c>=0)
+					reader.reset();
+					break;
+				}
+				unfolded.append(reader.readLine());
+			}
+			return unfolded.toString();
+		}
+
+		/**
+		 * Finds the colon separating the property from its value, ignoring colons inside quoted parameter values
+		 */
+		private static int findValueSeparator(String line)
+		{
+			boolean quoted=false;
+			for(int i=0;i<line.length();i++)
+			{
+				char c=line.charAt(i);
+				if (c=='"')
+				quoted=!quoted;
+				else if (c==':'&&!quoted)
+				return i;
+			}
+			return -1;
+		}
+
+		/**
+		 * Parses a DATE or DATE-TIME value, only the date part is used.
+		 * UTC times ending in 'Z' are converted to the local date, other times are already local or in their own time zone.
+		 */
+		private Date parseDueDate(String value) throws IOException
+		{
+			if (value.endsWith("Z"))
+			{
+				Calendar calendar=new GregorianCalendar();
+				calendar.setTime(parseDate(utcFormat,value));
+				return new GregorianCalendar(calendar.get(Calendar.YEAR),calendar.get(Calendar.MONTH),calendar.get(Calendar.DAY_OF_MONTH)).getTime();
+			}
+
+			if (value.length()<8)
+			throw new IOException("File format does not match");
+			return parseDate(dueFormat,value.substring(0,8));
+		}
+
+		/**
+		 * Returns the repeat keyword of a recurrence rule, rules that do not map to a simple interval are not repeated
+		 */
+		private static String parseFrequency(String rule)
+		{
+			String frequency=null;
+			for (String part:rule.split(";"))
+			{
+				if (part.regionMatches(true,0,"FREQ=",0,5))
+				frequency=part.substring(5).toLowerCase(Locale.ENGLISH);
+				else if (part.regionMatches(true,0,"INTERVAL=",0,9)&&!part.substring(9).equals("1"))
+				return null;
+			}
+			return (Recurrence.fromKey(frequency==null?"":frequency)!=null?frequency:null);
+		}
+
+		private static String unescapeText(String value)
+		{
+			StringBuilder text=new StringBuilder(value.length());
+			for(int i=0;i<value.length();i++)
+			{
+				char c=value.charAt(i);
+				if (c=='\\'&&i+1<value.length())
+				{
+					c=value.charAt(++i);
+					text.append(c=='n'||c=='N'?'\n':c);
+				}
+				else
+				text.append(c);
+			}
+			return text.toString();
+		}
+	}
+}
@@ -0,0 +1,341 @@
+/**
+ * Simple-ToDo is a simple todo list application capable of marking and saving todo lists
+ *
+ * @author  Matti Karjalainen
+ * @version 1.0
+ * @since   2017-10-02
+ */
+
+package com.zas.simpletodo;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.text.DateFormat;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+import java.util.TimeZone;
+
+/**
+ * Writes tasks to a file one at a time.
+ * <p>
+ * Each format writes its header before the first task and its footer when closed.
+ * Created by {@link TaskFormat#openWriter(java.io.File)}.
+ *
+ */
+public abstract class TaskWriter implements Closeable
+{
+	protected final BufferedWriter writer;
+	protected final DateFormat dateFormat=new SimpleDateFormat("yyyy-MM-dd",Locale.ENGLISH);
+	private boolean started,closed;
+
+	protected TaskWriter(BufferedWriter writer)
+	{
+		this.writer=writer;
+	}
+
+	/**
+	 * Writes the next task
+	 * @param task Task to write
+	 * @throws IOException if writing fails
+	 */
+	public void write(Task task) throws IOException
+	{
+		if (!started)
+		{
+			started=true;
+			writeHeader();
+		}
+		writeTask(task);
+	}
+
+	/**
+	 * Writes the footer of the format and closes the file
+	 * @throws IOException if writing fails
+	 */
+	@Override
+	public void close() throws IOException
+	{
+		if (closed)
+		return;
+		closed=true;
+
+		try
+		{
+			if (!started)
+			{
+				started=true;
+				writeHeader();
+			}
+			writeFooter();
+		} finally
+		{
+			writer.close();
+		}
+	}
+
+	protected void writeHeader() throws IOException
+	{
+	}
+
+	protected abstract void writeTask(Task task) throws IOException;
+
+	protected void writeFooter() throws IOException
+	{
+	}
+
+	/**
+	 * Writer for the three line format used by the application itself
+	 * @see TaskReader.SimpleTodo
+	 */
+	static class SimpleTodo extends TaskWriter
+	{
+		private boolean first=true;
+
+		SimpleTodo(BufferedWriter writer)
+		{
+			super(writer);
+		}
+
+		@Override
+		protected void writeTask(Task task) throws IOException
+		{
+			//new line between tasks, no new line at the end of file
+			if (!first)
+			writer.write('\n');
+			first=false;
+
+			writer.write(task.isDone()?"t\n":"f\n");
+			writer.write(toSingleLine(task.getName()));
+			writer.write('\n');
+			writer.write(dateFormat.format(task.getDate()));
+
+			//add repeat interval after the date for repeating tasks
+			if (task.getRecurrence()!=Recurrence.NONE)
+			{
+				writer.write(' ');
+				writer.write(task.getRecurrence().getKey());
+			}
+		}
+
+		/**
+		 * Replaces line breaks with spaces, as imported names may contain them but every name has to fit on one line
+		 */
+		private static String toSingleLine(String name)
+		{
+			if (name.indexOf('\n')<0&&name.indexOf('\r')<0)
+			return name;
+
+			return name.replace("\r\n"," ").replace('\r',' ').replace('\n',' ');
+		}
+	}
+
+	/**
+	 * Writer for comma separated values with a header row, fields are quoted when needed as described in RFC 4180
+	 */
+	static class Csv extends TaskWriter
+	{
+		static final String HEADER="done,task,date,repeat";
+
+		Csv(BufferedWriter writer)
+		{
+			super(writer);
+		}
+
+		@Override
+		protected void writeHeader() throws IOException
+		{
+			writer.write(HEADER);
+			writer.write("\r\n");
+		}
+
+		@Override
+		protected void writeTask(Task task) throws IOException
+		{
+			writer.write(task.isDone()?"true,":"false,");
+			writeField(task.getName());
+			writer.write(',');
+			writer.write(dateFormat.format(task.getDate()));
+			writer.write(',');
+			writer.write(task.getRecurrence().getKey());
+			writer.write("\r\n");
+		}
+
+		private void writeField(String value) throws IOException
+		{
+			boolean quote=false;
+			for(int i=0;i<value.length()&&!quote;i++)
+			{
+				char c=value.charAt(i);
+				quote=(c==','||c=='"'||c=='\r'||c=='\n');
+			}
+
+			if (!quote)
+			{
+				writer.write(value);
+				return;
+			}
+
+			writer.write('"');
+			for(int i=0;i<value.length();i++)
+			{
+				char c=value.charAt(i);
+				if (c=='"')
+				writer.write('"');
+				writer.write(c);
+			}
+			writer.write('"');
+		}
+	}
+
+	/**
+	 * Writer for JSON Lines, one JSON object per task on its own line
+	 */
+	static class JsonLines extends TaskWriter
+	{
+		JsonLines(BufferedWriter writer)
+		{
+			super(writer);
+		}
+
+		@Override
+		protected void writeTask(Task task) throws IOException
+		{
+			writer.write(task.isDone()?"{\"done\":true,\"task\":":"{\"done\":false,\"task\":");
+			writeString(task.getName());
+			writer.write(",\"date\":\"");
+			writer.write(dateFormat.format(task.getDate()));
+			writer.write('"');
+			if (task.getRecurrence()!=Recurrence.NONE)
+			{
+				writer.write(",\"repeat\":\"");
+				writer.write(task.getRecurrence().getKey());
+				writer.write('"');
+			}
+			writer.write("}\n");
+		}
+
+		private void writeString(String value) throws IOException
+		{
+			writer.write('"');
+			for(int i=0;i<value.length();i++)
+			{
+				char c=value.charAt(i);
+				switch (c)
+				{
+					case '"':
+						writer.write("\\\"");
+						break;
+					case '\\':
+						writer.write("\\\\");
+						break;
+					case '\n':
+						writer.write("\\n");
+						break;
+					case '\r':
+						writer.write("\\r");
+						break;
+					case '\t':
+						writer.write("\\t");
+						break;
+					default:
+						if (c<0x20)
+						writer.write(String.format("\\u%04x",(int)c));
+						else
+						writer.write(c);
+				}
+			}
+			writer.write('"');
+		}
+	}
+
+	/**
+	 * Writer for an iCalendar file with one VTODO component per task as described in RFC 5545
+	 */
+	static class ICalendar extends TaskWriter
+	{
+		//longest allowed line in octets, excluding the line break
+		private static final int MAX_LINE_OCTETS=75;
+
+		private final DateFormat dueFormat=new SimpleDateFormat("yyyyMMdd",Locale.ENGLISH);
+		private final String timestamp,uidSuffix;
+		private long taskNumber;
+
+		ICalendar(BufferedWriter writer)
+		{
+			super(writer);
+
+			DateFormat stampFormat=new SimpleDateFormat("yyyyMMdd'T'HHmmss'Z'",Locale.ENGLISH);
+			stampFormat.setTimeZone(TimeZone.getTimeZone("UTC"));
+			Date now=new Date();
+			timestamp=stampFormat.format(now);
+			uidSuffix="-"+now.getTime()+"@simpletodo";
+		}
+
+		@Override
+		protected void writeHeader() throws IOException
+		{
+			writeLine("BEGIN:VCALENDAR");
+			writeLine("VERSION:2.0");
+			writeLine("PRODID:-//Simple ToDo//EN");
+		}
+
+		@Override
+		protected void writeTask(Task task) throws IOException
+		{
+			writeLine("BEGIN:VTODO");
+			writeLine("UID:"+(taskNumber++)+uidSuffix);
+			writeLine("DTSTAMP:"+timestamp);
+			writeLine("SUMMARY:"+escapeText(task.getName()));
+			writeLine("DUE;VALUE=DATE:"+dueFormat.format(task.getDate()));
+			writeLine(task.isDone()?"STATUS:COMPLETED":"STATUS:NEEDS-ACTION");
+			if (task.getRecurrence()!=Recurrence.NONE)
+			writeLine("RRULE:FREQ="+task.getRecurrence().getKey().toUpperCase(Locale.ENGLISH));
+			writeLine("END:VTODO");
+		}
+
+		@Override
+		protected void writeFooter() throws IOException
+		{
+			writeLine("END:VCALENDAR");
+		}
+
+		private static String escapeText(String value)
+		{
+			StringBuilder escaped=new StringBuilder(value.length()+8);
+			for(int i=0;i<value.length();i++)
+			{
+				char c=value.charAt(i);
+				if (c=='\\'||c==';'||c==',')
+				escaped.append('\\').append(c);
+				else if (c=='\n')
+				escaped.append("\\n");
+				else if (c!='\r')
+				escaped.append(c);
+			}
+			return escaped.toString();
+		}
+
+		/**
+		 * Writes a content line, folding it onto continuation lines starting with a space when it is too long
+		 */
+		private void writeLine(String line) throws IOException
+		{
+			int octets=0;
+			for(int i=0;i<line.length();i++)
+			{
+				char c=line.charAt(i);
+				int size=(c<0x80?1:c<0x800?2:Character.isHighSurrogate(c)?4:Character.isLowSurrogate(c)?0:3);
+				if (octets+size>MAX_LINE_OCTETS)
+				{
+					writer.write("\r\n ");
+					octets=1;
+				}
+				writer.write(c);
+				octets+=size;
+			}
+			writer.write("\r\n");
+		}
+	}
+}